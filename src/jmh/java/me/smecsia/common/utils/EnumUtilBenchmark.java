@@ -0,0 +1,36 @@
+package me.smecsia.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Ilya Sadykov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnumUtilBenchmark {
+
+    public static enum Weekday {
+        monday, tuesday, wednesday, thursday, friday, saturday, sunday
+    }
+
+    @Param({"monday", "sunday"})
+    public String value;
+
+    @Benchmark
+    public Weekday fromString() {
+        return EnumUtil.fromString(Weekday.class, value);
+    }
+
+    @Benchmark
+    public Weekday valueOf() {
+        return Weekday.valueOf(value);
+    }
+
+    @Benchmark
+    public Weekday random() {
+        return EnumUtil.random(Weekday.class);
+    }
+}
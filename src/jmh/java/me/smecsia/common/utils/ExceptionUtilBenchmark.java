@@ -0,0 +1,64 @@
+package me.smecsia.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formats a trace of about 200 frames with 5 causes, the size of a typical trace on the error path.
+ *
+ * @author Ilya Sadykov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExceptionUtilBenchmark {
+
+    private static final int DEPTH = 200;
+    private static final int CAUSES = 5;
+
+    private Throwable exception;
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Setup
+    public void setUp() {
+        Throwable cause = null;
+        for (int i = 0; i <= CAUSES; ++i) {
+            cause = throwAt(DEPTH - i, cause);
+        }
+        exception = cause;
+    }
+
+    @Benchmark
+    public String formatStackTrace() {
+        return ExceptionUtil.formatStackTrace(exception);
+    }
+
+    @Benchmark
+    public StringBuilder formatStackTraceReusedBuffer() {
+        buffer.setLength(0);
+        return ExceptionUtil.formatStackTrace(exception, buffer, 32, 3);
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        return ExceptionUtil.fingerprint(exception, 8);
+    }
+
+    @Benchmark
+    public CallSite captureCallSite() {
+        return ExceptionUtil.captureCallSite(5);
+    }
+
+    @Benchmark
+    public StackTraceElement[] newThrowableStackTrace() {
+        return new Throwable().getStackTrace();
+    }
+
+    private static Throwable throwAt(int depth, Throwable cause) {
+        if (depth > 0) {
+            return throwAt(depth - 1, cause);
+        }
+        return new IllegalStateException("failure at depth " + DEPTH, cause);
+    }
+}
@@ -0,0 +1,48 @@
+package me.smecsia.common.utils;
+
+import org.apache.commons.lang.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Ilya Sadykov
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileUtilBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    private String content;
+    private File readFile;
+    private File writeFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        content = StringUtils.repeat("0123456789abcdef", size / 16);
+        readFile = FileUtil.createTempFileWithContent(content);
+        writeFile = FileUtil.createTempFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        readFile.delete();
+        writeFile.delete();
+    }
+
+    @Benchmark
+    public String readFileToString() throws IOException {
+        return FileUtil.readFileToString(readFile);
+    }
+
+    @Benchmark
+    public File writeStringToFile() throws IOException {
+        FileUtil.writeStringToFile(content, writeFile);
+        return writeFile;
+    }
+}
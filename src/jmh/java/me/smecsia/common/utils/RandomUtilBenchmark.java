@@ -0,0 +1,37 @@
+package me.smecsia.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RandomUtil shares a single Random and SecureRandom, so the contention is measured with all the cores busy.
+ *
+ * @author Ilya Sadykov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(Threads.MAX)
+public class RandomUtilBenchmark {
+
+    @Benchmark
+    public int randomInt() {
+        return RandomUtil.randomInt(100);
+    }
+
+    @Benchmark
+    public int randomIntRange() {
+        return RandomUtil.randomInt(10, 20);
+    }
+
+    @Benchmark
+    public boolean isProbable() {
+        return RandomUtil.isProbable(50);
+    }
+
+    @Benchmark
+    public String randomString() {
+        return RandomUtil.randomString();
+    }
+}
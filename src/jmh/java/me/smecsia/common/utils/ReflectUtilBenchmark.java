@@ -0,0 +1,101 @@
+package me.smecsia.common.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import static me.smecsia.common.utils.ReflectUtil.classLoaderProxy;
+
+/**
+ * The proxied object is loaded by a separate class loader, so the calls go through the same type
+ * translation as the real cross class loader calls.
+ *
+ * @author Ilya Sadykov
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReflectUtilBenchmark {
+
+    public static interface Greeter {
+        String greet(String name);
+
+        int add(int a, int b);
+    }
+
+    public static class GreeterImpl implements Greeter {
+        @Override
+        public String greet(String name) {
+            return "Hello, " + name;
+        }
+
+        @Override
+        public int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    public static class Target {
+        private String value = "initial";
+
+        private String echo(String arg) {
+            return arg;
+        }
+    }
+
+    private URLClassLoader guestClassLoader;
+    private Greeter proxy;
+    private Greeter direct;
+    private Target target;
+
+    @Setup
+    public void setUp() throws Exception {
+        URL location = GreeterImpl.class.getProtectionDomain().getCodeSource().getLocation();
+        guestClassLoader = new URLClassLoader(new URL[]{location}, ClassLoader.getPlatformClassLoader());
+        Object guest = guestClassLoader.loadClass(GreeterImpl.class.getName()).getConstructor().newInstance();
+        if (guest instanceof Greeter) {
+            throw new IllegalStateException("Guest object must be loaded by a separate class loader!");
+        }
+        proxy = classLoaderProxy(guestClassLoader, guest, Greeter.class);
+        direct = new GreeterImpl();
+        target = new Target();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        guestClassLoader.close();
+    }
+
+    @Benchmark
+    public String directInvoke() {
+        return direct.greet("world");
+    }
+
+    @Benchmark
+    public String classLoaderProxyInvoke() {
+        return proxy.greet("world");
+    }
+
+    @Benchmark
+    public int classLoaderProxyPrimitiveArgs() {
+        return proxy.add(1, 2);
+    }
+
+    @Benchmark
+    public Object invokeAnyMethod() throws Exception {
+        return ReflectUtil.invokeAnyMethod(target, "echo", "arg");
+    }
+
+    @Benchmark
+    public Object invokeAnyMethodWithArgTypes() throws Exception {
+        return ReflectUtil.invokeAnyMethod(target, "echo", new Class<?>[]{String.class}, "arg");
+    }
+
+    @Benchmark
+    public Target setPrivateField() throws Exception {
+        ReflectUtil.setPrivateField(target, "value", "changed");
+        return target;
+    }
+}
@@ -0,0 +1,71 @@
+package me.smecsia.common.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reusable read-only view of a byte range as a sequence of ASCII (ISO-8859-1) characters.
+ * Allows to parse values right from the byte buffers without decoding them into strings:
+ * <pre>
+ *     AsciiSequence view = new AsciiSequence();
+ *     int value = ConvertUtil.parseInt(view.wrap(buffer, from, to));
+ * </pre>
+ * The instance is mutable and thus must not be shared between the threads.
+ *
+ * @author Ilya Sadykov
+ */
+public final class AsciiSequence implements CharSequence {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] bytes = EMPTY;
+    private int offset;
+    private int length;
+
+    public AsciiSequence() {
+    }
+
+    public AsciiSequence(byte[] bytes, int from, int to) {
+        wrap(bytes, from, to);
+    }
+
+    /**
+     * Points the view to the range [from, to) of the bytes
+     *
+     * @return this view
+     */
+    public AsciiSequence wrap(byte[] bytes, int from, int to) {
+        if (from < 0 || to > bytes.length || from > to) {
+            throw new IndexOutOfBoundsException("Wrong range [" + from + ", " + to + ") for length " + bytes.length);
+        }
+        this.bytes = bytes;
+        this.offset = from;
+        this.length = to - from;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of length " + length);
+        }
+        return (char) (bytes[offset + index] & 0xff);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Wrong range [" + start + ", " + end + ") for length " + length);
+        }
+        return new AsciiSequence(bytes, offset + start, offset + end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,71 @@
+package me.smecsia.common.utils;
+
+import java.io.IOException;
+
+/**
+ * Immutable snapshot of the top frames of a call stack (see {@link ExceptionUtil#captureCallSite(int, int, String...)}).
+ * Formats with the same layout as {@link ExceptionUtil#formatStackTrace(StackTraceElement[])}.
+ *
+ * @author Ilya Sadykov
+ */
+public final class CallSite {
+
+    private final StackWalker.StackFrame[] frames;
+
+    CallSite(StackWalker.StackFrame[] frames) {
+        this.frames = frames;
+    }
+
+    public int size() {
+        return frames.length;
+    }
+
+    public String getClassName(int index) {
+        return frames[index].getClassName();
+    }
+
+    public String getMethodName(int index) {
+        return frames[index].getMethodName();
+    }
+
+    public String getFileName(int index) {
+        return frames[index].getFileName();
+    }
+
+    public int getLineNumber(int index) {
+        return frames[index].getLineNumber();
+    }
+
+    /**
+     * Converts the frames into the stack trace elements
+     */
+    public StackTraceElement[] getStackTrace() {
+        StackTraceElement[] result = new StackTraceElement[frames.length];
+        for (int i = 0; i < frames.length; ++i) {
+            result[i] = frames[i].toStackTraceElement();
+        }
+        return result;
+    }
+
+    public <A extends Appendable> A appendTo(A out) throws IOException {
+        for (StackWalker.StackFrame frame : frames) {
+            ExceptionUtil.appendFrame(frame.getClassName(), frame.getMethodName(), frame.getFileName(),
+                    frame.getLineNumber(), out);
+        }
+        return out;
+    }
+
+    public String format() {
+        try {
+            return appendTo(new StringBuilder()).toString();
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
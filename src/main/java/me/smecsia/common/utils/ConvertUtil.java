@@ -0,0 +1,551 @@
+package me.smecsia.common.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import me.smecsia.common.utils.TypesUtil.TypeKind;
+
+import static me.smecsia.common.utils.TypesUtil.typeKind;
+
+/**
+ * Type-directed conversion of textual values.
+ * Values are parsed right from the character ranges (use {@link AsciiSequence} for the byte ranges)
+ * into the primitive sinks or fields, without intermediate strings or boxed objects for int, long, double,
+ * boolean and enum values.
+ *
+ * @author Ilya Sadykov
+ */
+public class ConvertUtil {
+
+    /**
+     * Receives the converted values. Primitive values are passed without boxing.
+     */
+    public static interface ValueSink {
+        void acceptInt(int value);
+
+        void acceptLong(long value);
+
+        void acceptDouble(double value);
+
+        void acceptFloat(float value);
+
+        void acceptBoolean(boolean value);
+
+        void acceptObject(Object value);
+    }
+
+    /**
+     * Converts a character range into a value of some type
+     */
+    public static interface Converter {
+        /**
+         * Returns the (boxed) value parsed from the range [from, to) of the source
+         */
+        Object parse(CharSequence src, int from, int to);
+
+        /**
+         * Passes the value parsed from the range [from, to) of the source to the sink.
+         * Converters of the primitive types pass the values unboxed.
+         */
+        default void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptObject(parse(src, from, to));
+        }
+    }
+
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final Converter INT_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseInt(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptInt(parseInt(src, from, to));
+        }
+    };
+
+    private static final Converter SHORT_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return (short) parseInt(src, from, to, Short.MIN_VALUE, Short.MAX_VALUE);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptInt(parseInt(src, from, to, Short.MIN_VALUE, Short.MAX_VALUE));
+        }
+    };
+
+    private static final Converter BYTE_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return (byte) parseInt(src, from, to, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptInt(parseInt(src, from, to, Byte.MIN_VALUE, Byte.MAX_VALUE));
+        }
+    };
+
+    private static final Converter LONG_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseLong(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptLong(parseLong(src, from, to));
+        }
+    };
+
+    private static final Converter DOUBLE_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseDouble(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptDouble(parseDouble(src, from, to));
+        }
+    };
+
+    private static final Converter FLOAT_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseFloat(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptFloat(parseFloat(src, from, to));
+        }
+    };
+
+    private static final Converter BOOLEAN_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseBoolean(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptBoolean(parseBoolean(src, from, to));
+        }
+    };
+
+    private static final Converter CHAR_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return parseChar(src, from, to);
+        }
+
+        @Override
+        public void convert(CharSequence src, int from, int to, ValueSink sink) {
+            sink.acceptInt(parseChar(src, from, to));
+        }
+    };
+
+    private static final Converter STRING_CONVERTER = new Converter() {
+        @Override
+        public Object parse(CharSequence src, int from, int to) {
+            return src.subSequence(from, to).toString();
+        }
+    };
+
+    private static final ClassValue<Enum<?>[]> ENUM_CONSTANTS = new ClassValue<Enum<?>[]>() {
+        @Override
+        protected Enum<?>[] computeValue(Class<?> type) {
+            return (Enum<?>[]) type.getEnumConstants();
+        }
+    };
+
+    private static final ClassValue<Converter> ENUM_CONVERTERS = new ClassValue<Converter>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Converter computeValue(final Class<?> type) {
+            return new Converter() {
+                @Override
+                public Object parse(CharSequence src, int from, int to) {
+                    return parseEnum((Class<Enum>) type, src, from, to);
+                }
+            };
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<String, FieldSetter>> FIELD_SETTERS =
+            new ClassValue<ConcurrentMap<String, FieldSetter>>() {
+                @Override
+                protected ConcurrentMap<String, FieldSetter> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<String, FieldSetter>();
+                }
+            };
+
+    private static final ConcurrentMap<Class<?>, Converter> converters = new ConcurrentHashMap<Class<?>, Converter>();
+
+    /**
+     * Registers the converter for a class, overriding the default one
+     */
+    public static void registerConverter(Class<?> type, Converter converter) {
+        converters.put(type, converter);
+    }
+
+    /**
+     * Removes the converter registered for a class, restoring the default one
+     */
+    public static void unregisterConverter(Class<?> type) {
+        converters.remove(type);
+    }
+
+    /**
+     * Returns the converter for a class: the one registered for the class or for its generic type
+     * (see {@link TypesUtil#getGenericType(Class)}), otherwise the default one for its kind
+     * (see {@link TypesUtil#typeKind(Class)})
+     *
+     * @throws IllegalArgumentException if there is no converter for the class
+     */
+    public static Converter converter(Class<?> type) {
+        Converter converter = registeredConverter(type);
+        if (converter != null) {
+            return converter;
+        }
+        switch (typeKind(type)) {
+            case INT:
+                return INT_CONVERTER;
+            case LONG:
+                return LONG_CONVERTER;
+            case DOUBLE:
+                return DOUBLE_CONVERTER;
+            case FLOAT:
+                return FLOAT_CONVERTER;
+            case BOOLEAN:
+                return BOOLEAN_CONVERTER;
+            case SHORT:
+                return SHORT_CONVERTER;
+            case BYTE:
+                return BYTE_CONVERTER;
+            case CHAR:
+                return CHAR_CONVERTER;
+            case STRING:
+                return STRING_CONVERTER;
+            case ENUM:
+                // the constants with a body are anonymous subclasses of their enum
+                Class<?> enumClass = type.isEnum() ? type : type.getSuperclass();
+                if (enumClass == null || !enumClass.isEnum()) {
+                    throw new IllegalArgumentException("Cannot convert to the enum class " + type + "!");
+                }
+                return ENUM_CONVERTERS.get(enumClass);
+            default:
+                throw new IllegalArgumentException("No converter registered for the class " + type + "!");
+        }
+    }
+
+    /**
+     * Returns the converter registered for the class or for its generic type, null if there is none
+     */
+    private static Converter registeredConverter(Class<?> type) {
+        if (converters.isEmpty()) {
+            return null;
+        }
+        Converter converter = converters.get(type);
+        return (converter != null) ? converter : converters.get(TypesUtil.getGenericType(type));
+    }
+
+    /**
+     * Returns the cached setter of a non-static field declared by the class.
+     * The setters are created lazily, so an inaccessible field fails only the lookups of that field.
+     *
+     * @throws IllegalArgumentException if there is no such non-static field
+     */
+    public static FieldSetter fieldSetter(Class<?> type, String name) {
+        ConcurrentMap<String, FieldSetter> setters = FIELD_SETTERS.get(type);
+        FieldSetter setter = setters.get(name);
+        if (setter == null) {
+            Field field;
+            try {
+                field = type.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                throw new IllegalArgumentException("No field " + name + " declared by the class " + type + "!", e);
+            }
+            if (Modifier.isStatic(field.getModifiers())) {
+                throw new IllegalArgumentException("Field " + name + " of the class " + type + " is static!");
+            }
+            setter = new FieldSetter(field);
+            FieldSetter existing = setters.putIfAbsent(name, setter);
+            if (existing != null) {
+                setter = existing;
+            }
+        }
+        return setter;
+    }
+
+    public static int parseInt(CharSequence src) {
+        return parseInt(src, 0, src.length());
+    }
+
+    /**
+     * Parses the decimal int from the range [from, to) of the source
+     *
+     * @throws NumberFormatException if the range does not contain a valid int
+     */
+    public static int parseInt(CharSequence src, int from, int to) {
+        return parseInt(src, from, to, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public static long parseLong(CharSequence src) {
+        return parseLong(src, 0, src.length());
+    }
+
+    /**
+     * Parses the decimal long from the range [from, to) of the source
+     *
+     * @throws NumberFormatException if the range does not contain a valid long
+     */
+    public static long parseLong(CharSequence src, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (src.charAt(i) == '-' || src.charAt(i) == '+')) {
+            negative = src.charAt(i) == '-';
+            i++;
+        }
+        if (i >= to) {
+            throw numberFormatException(src, from, to);
+        }
+        // accumulating negatively, as Long.parseLong does, to handle Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multLimit = limit / 10;
+        long result = 0;
+        for (; i < to; ++i) {
+            int digit = src.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multLimit) {
+                throw numberFormatException(src, from, to);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(src, from, to);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    public static double parseDouble(CharSequence src) {
+        return parseDouble(src, 0, src.length());
+    }
+
+    /**
+     * Parses the double from the range [from, to) of the source.
+     * Plain decimal numbers with up to 18 significant digits and small exponents are parsed in place with the
+     * exactly rounded result, any other input falls back to {@link Double#parseDouble(String)}.
+     *
+     * @throws NumberFormatException if the range does not contain a valid double
+     */
+    public static double parseDouble(CharSequence src, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (src.charAt(i) == '-' || src.charAt(i) == '+')) {
+            negative = src.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        int significantDigits = 0;
+        boolean hasDigits = false;
+        boolean hasDot = false;
+        for (; i < to; ++i) {
+            char c = src.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigits = true;
+                if (mantissa != 0 || c != '0') {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (hasDot) {
+                    exponent--;
+                }
+            } else if (c == '.' && !hasDot) {
+                hasDot = true;
+            } else {
+                break;
+            }
+        }
+        if (i < to && (src.charAt(i) == 'e' || src.charAt(i) == 'E')) {
+            int expStart = ++i;
+            boolean expNegative = false;
+            if (i < to && (src.charAt(i) == '-' || src.charAt(i) == '+')) {
+                expNegative = src.charAt(i) == '-';
+                i++;
+            }
+            int expValue = 0;
+            for (; i < to && src.charAt(i) >= '0' && src.charAt(i) <= '9' && expValue < 1000; ++i) {
+                expValue = expValue * 10 + (src.charAt(i) - '0');
+            }
+            if (i == expStart || !Character.isDigit(src.charAt(i - 1))) {
+                return fallbackParseDouble(src, from, to);
+            }
+            exponent += expNegative ? -expValue : expValue;
+        }
+        if (i != to || !hasDigits || significantDigits > 18 || mantissa > (1L << 53)) {
+            return fallbackParseDouble(src, from, to);
+        }
+        double value;
+        if (exponent == 0 || mantissa == 0) {
+            value = mantissa;
+        } else if (exponent > 0 && exponent < POW10.length) {
+            value = mantissa * POW10[exponent];
+        } else if (exponent < 0 && -exponent < POW10.length) {
+            value = mantissa / POW10[-exponent];
+        } else {
+            return fallbackParseDouble(src, from, to);
+        }
+        return negative ? -value : value;
+    }
+
+    public static float parseFloat(CharSequence src, int from, int to) {
+        return Float.parseFloat(src.subSequence(from, to).toString());
+    }
+
+    public static boolean parseBoolean(CharSequence src) {
+        return parseBoolean(src, 0, src.length());
+    }
+
+    /**
+     * Parses the boolean from the range [from, to) of the source with the {@link Boolean#parseBoolean(String)}
+     * semantics: true if the range is equal to "true" ignoring case
+     */
+    public static boolean parseBoolean(CharSequence src, int from, int to) {
+        if (to - from != 4) {
+            return false;
+        }
+        return (src.charAt(from) | 0x20) == 't' && (src.charAt(from + 1) | 0x20) == 'r'
+                && (src.charAt(from + 2) | 0x20) == 'u' && (src.charAt(from + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Get the enum value from the range [from, to) of the source, comparing it to the names of the constants
+     *
+     * @throws IllegalArgumentException if the enum has no constant with the given name
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T>> T parseEnum(Class<T> enumClass, CharSequence src, int from, int to) {
+        int length = to - from;
+        for (Enum<?> constant : ENUM_CONSTANTS.get(enumClass)) {
+            String name = constant.name();
+            if (name.length() == length && regionEquals(name, src, from)) {
+                return (T) constant;
+            }
+        }
+        throw new IllegalArgumentException("Wrong value provided to the enum: " + enumClass + " : " +
+                src.subSequence(from, to) + "!");
+    }
+
+    private static int parseInt(CharSequence src, int from, int to, int min, int max) {
+        long value = parseLong(src, from, to);
+        if (value < min || value > max) {
+            throw numberFormatException(src, from, to);
+        }
+        return (int) value;
+    }
+
+    private static char parseChar(CharSequence src, int from, int to) {
+        if (to - from != 1) {
+            throw new IllegalArgumentException("Wrong value provided for a char: " + src.subSequence(from, to) + "!");
+        }
+        return src.charAt(from);
+    }
+
+    private static boolean regionEquals(String str, CharSequence src, int from) {
+        for (int i = 0; i < str.length(); ++i) {
+            if (str.charAt(i) != src.charAt(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double fallbackParseDouble(CharSequence src, int from, int to) {
+        return Double.parseDouble(src.subSequence(from, to).toString());
+    }
+
+    private static NumberFormatException numberFormatException(CharSequence src, int from, int to) {
+        return new NumberFormatException("For input string: \"" + src.subSequence(from, to) + "\"");
+    }
+
+    /**
+     * Cached accessor setting a field from a character range.
+     * Follows the same rules as {@link #converter(Class)}: primitive fields are set without boxing,
+     * unless a converter is registered for their type.
+     */
+    public static class FieldSetter {
+        private final Field field;
+        private final TypeKind kind;
+        private final boolean primitive;
+
+        public FieldSetter(Field field) {
+            this.field = field;
+            this.kind = typeKind(field.getType());
+            this.primitive = field.getType().isPrimitive();
+            field.setAccessible(true);
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        /**
+         * Sets the field of the target to the value parsed from the range [from, to) of the source
+         */
+        public void set(Object target, CharSequence src, int from, int to) throws IllegalAccessException {
+            if (!primitive) {
+                field.set(target, converter(field.getType()).parse(src, from, to));
+                return;
+            }
+            Converter registered = registeredConverter(field.getType());
+            if (registered != null) {
+                field.set(target, registered.parse(src, from, to));
+                return;
+            }
+            switch (kind) {
+                case INT:
+                    field.setInt(target, parseInt(src, from, to));
+                    break;
+                case LONG:
+                    field.setLong(target, parseLong(src, from, to));
+                    break;
+                case DOUBLE:
+                    field.setDouble(target, parseDouble(src, from, to));
+                    break;
+                case FLOAT:
+                    field.setFloat(target, parseFloat(src, from, to));
+                    break;
+                case BOOLEAN:
+                    field.setBoolean(target, parseBoolean(src, from, to));
+                    break;
+                case SHORT:
+                    field.setShort(target, (short) parseInt(src, from, to, Short.MIN_VALUE, Short.MAX_VALUE));
+                    break;
+                case BYTE:
+                    field.setByte(target, (byte) parseInt(src, from, to, Byte.MIN_VALUE, Byte.MAX_VALUE));
+                    break;
+                case CHAR:
+                    field.setChar(target, parseChar(src, from, to));
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected primitive field type: " + field.getType());
+            }
+        }
+
+        public void set(Object target, CharSequence src) throws IllegalAccessException {
+            set(target, src, 0, src.length());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package me.smecsia.common.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static me.smecsia.common.utils.ExceptionUtil.fingerprint;
+import static me.smecsia.common.utils.ExceptionUtil.formatStackTrace;
+
+/**
+ * Deduplicates repeated exceptions by their fingerprint (see {@link ExceptionUtil#fingerprint(Throwable, int)}).
+ * Occurrences are counted per fingerprint, the first occurrence is kept as a sample and the summaries
+ * are emitted not more often than once per interval.
+ * <p/>
+ * Typical usage: log the exception fully only if {@link #record(Throwable)} returns true, and periodically
+ * log the results of {@link #flush()}.
+ * <p/>
+ * The fingerprints not seen during a whole interval are evicted on flush, so that the limit of the tracked
+ * fingerprints does not block the new kinds of exceptions forever. An evicted fingerprint is reported as a
+ * first occurrence again when it reappears.
+ *
+ * @author Ilya Sadykov
+ */
+public class ErrorAggregator {
+
+    public static final int DEFAULT_TOP_FRAMES = 8;
+    public static final int DEFAULT_MAX_FINGERPRINTS = 1024;
+
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<Long, Entry>();
+    private final LongAdder overflow = new LongAdder();
+    // updated only by the thread that won the flush
+    private volatile long overflowTotal;
+    // reserved slots of the entries, keeps the limit exact under concurrent inserts
+    private final AtomicInteger tracked = new AtomicInteger();
+    private final AtomicLong lastFlush;
+    private final int topFrames;
+    private final int maxFingerprints;
+    private final long intervalMillis;
+
+    public ErrorAggregator(long intervalMillis) {
+        this(intervalMillis, DEFAULT_TOP_FRAMES, DEFAULT_MAX_FINGERPRINTS);
+    }
+
+    /**
+     * @param intervalMillis  minimal interval between the summaries
+     * @param topFrames       number of the top frames of each cause used for the fingerprint
+     * @param maxFingerprints maximum number of the distinct fingerprints tracked, the exceeding ones
+     *                        are only counted as overflow
+     */
+    public ErrorAggregator(long intervalMillis, int topFrames, int maxFingerprints) {
+        this.intervalMillis = intervalMillis;
+        this.topFrames = topFrames;
+        this.maxFingerprints = maxFingerprints;
+        this.lastFlush = new AtomicLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Records an occurrence of the exception
+     *
+     * @return true if the exception's fingerprint has been seen for the first time
+     */
+    public boolean record(Throwable exc) {
+        Long key = fingerprint(exc, topFrames);
+        while (true) {
+            Entry entry = entries.get(key);
+            boolean first = false;
+            if (entry == null) {
+                if (tracked.incrementAndGet() > maxFingerprints) {
+                    tracked.decrementAndGet();
+                    overflow.increment();
+                    return false;
+                }
+                Entry created = new Entry(key, exc);
+                entry = entries.putIfAbsent(key, created);
+                if (entry == null) {
+                    entry = created;
+                    first = true;
+                } else {
+                    tracked.decrementAndGet();
+                }
+            }
+            entry.count.increment();
+            if (!entry.retiring || !entry.isEvicted()) {
+                return first;
+            }
+            // the entry has been evicted before it could see this occurrence, record it again
+        }
+    }
+
+    /**
+     * Returns the summaries for the fingerprints seen since the last flush, if the interval has elapsed.
+     * Returns an empty list otherwise or if another thread is flushing concurrently.
+     * The fingerprints not seen since the last flush are evicted. An occurrence recorded concurrently with
+     * the eviction of its fingerprint is never lost: it either keeps the fingerprint or is recorded again
+     * as a first occurrence.
+     */
+    public List<Summary> flush() {
+        return flush(System.currentTimeMillis());
+    }
+
+    public List<Summary> flush(long nowMillis) {
+        long last = lastFlush.get();
+        if (nowMillis - last < intervalMillis || !lastFlush.compareAndSet(last, nowMillis)) {
+            return Collections.emptyList();
+        }
+        long period = nowMillis - last;
+        List<Summary> result = new ArrayList<Summary>();
+        for (Entry entry : entries.values()) {
+            long count = entry.count.sumThenReset();
+            if (count > 0) {
+                entry.total += count;
+                result.add(new Summary(entry.fingerprint, count, entry.total, period, entry.sample));
+            } else if (entry.tryEvict()) {
+                entries.remove(entry.fingerprint, entry);
+                tracked.decrementAndGet();
+            }
+        }
+        long overflowCount = overflow.sumThenReset();
+        if (overflowCount > 0) {
+            overflowTotal += overflowCount;
+            result.add(new Summary(0, overflowCount, overflowTotal, period, null));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of the distinct fingerprints tracked
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+        private final long fingerprint;
+        private final Throwable sample;
+        private final LongAdder count = new LongAdder();
+        // updated only by the thread that won the flush
+        private volatile long total;
+        // set while the entry is being evicted and left set once it has been evicted
+        private volatile boolean retiring;
+        private boolean evicted;
+
+        private Entry(long fingerprint, Throwable sample) {
+            this.fingerprint = fingerprint;
+            this.sample = sample;
+        }
+
+        /**
+         * Evicts the entry unless an occurrence has been recorded concurrently.
+         * A recorder that increments the count before it sees the retiring flag is always counted here.
+         */
+        private synchronized boolean tryEvict() {
+            retiring = true;
+            long late = count.sumThenReset();
+            if (late == 0) {
+                evicted = true;
+                return true;
+            }
+            count.add(late);
+            retiring = false;
+            return false;
+        }
+
+        /**
+         * Waits for a concurrent eviction to finish and tells if it has evicted the entry
+         */
+        private synchronized boolean isEvicted() {
+            return evicted;
+        }
+    }
+
+    /**
+     * Occurrences of a fingerprint within a period.
+     * The summary with a null sample counts the exceptions exceeding the maximum number of fingerprints,
+     * its total is the overflow since the aggregator has been created.
+     */
+    public static class Summary {
+        private final long fingerprint;
+        private final long count;
+        private final long total;
+        private final long periodMillis;
+        private final Throwable sample;
+
+        public Summary(long fingerprint, long count, long total, long periodMillis, Throwable sample) {
+            this.fingerprint = fingerprint;
+            this.count = count;
+            this.total = total;
+            this.periodMillis = periodMillis;
+            this.sample = sample;
+        }
+
+        public long getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getPeriodMillis() {
+            return periodMillis;
+        }
+
+        public Throwable getSample() {
+            return sample;
+        }
+
+        public String formatSample() {
+            return (sample != null) ? formatStackTrace(sample) : "";
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "[%016x] seen %,d times in %ds (%,d total): %s", fingerprint, count,
+                    periodMillis / 1000, total, (sample != null) ? sample : "<fingerprints limit exceeded>");
+        }
+    }
+}
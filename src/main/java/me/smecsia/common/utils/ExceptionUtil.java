@@ -1,35 +1,257 @@
 package me.smecsia.common.utils;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 /**
  * @author Ilya Sadykov
  */
 public class ExceptionUtil {
 
+    /**
+     * Limit value meaning "no limit" for the frames and causes count
+     */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    /**
+     * Default number of causes taken into account by the fingerprint
+     */
+    public static final int FINGERPRINT_MAX_CAUSES = 16;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final int MAX_COUNTED_CAUSES = 100;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
     public static String formatStackTrace(Throwable exc) {
-        Throwable cause = exc;
-        StringBuilder builder = new StringBuilder();
-        while (cause != null) {
-            builder.append("Caused by ").append(cause.toString()).append(": ").append(cause.getMessage()).
-                    append("\n");
-            builder.append(formatStackTrace(cause.getStackTrace()));
-            cause = cause.getCause();
+        return formatStackTrace(exc, new StringBuilder(), UNLIMITED, UNLIMITED).toString();
+    }
+
+    /**
+     * Formats the stack trace into the (possibly reused) buffer.
+     *
+     * @param buffer    buffer receiving the formatted trace
+     * @param maxFrames maximum number of frames printed for each throwable
+     * @param maxCauses maximum number of causes and suppressed exceptions printed
+     * @return the buffer
+     */
+    public static StringBuilder formatStackTrace(Throwable exc, StringBuilder buffer, int maxFrames, int maxCauses) {
+        try {
+            return appendStackTrace(exc, buffer, maxFrames, maxCauses);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new IllegalStateException(e);
         }
-        return builder.toString();
     }
 
+    /**
+     * Writes the stack trace to the appendable, including causes and suppressed exceptions.
+     * Frames shared with the enclosing trace are elided as "... N more".
+     *
+     * @param out       appendable receiving the formatted trace
+     * @param maxFrames maximum number of frames printed for each throwable
+     * @param maxCauses maximum number of causes and suppressed exceptions printed
+     * @return the appendable
+     */
+    public static <A extends Appendable> A appendStackTrace(Throwable exc, A out, int maxFrames, int maxCauses)
+            throws IOException {
+        Set<Throwable> dejaVu = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        appendThrowable(exc, new StackTraceElement[0], "", "", out, maxFrames, maxCauses, dejaVu);
+        return out;
+    }
 
     public static String formatStackTrace(StackTraceElement[] stackTraceElements) {
         StringBuilder builder = new StringBuilder();
-        for (StackTraceElement element : stackTraceElements) {
-            builder.append("\tat ").append(element.getClassName()).
-                    append("<").append(element.getMethodName()).append(">");
-            builder.append("(").append(element.getFileName());
-            if (element.getLineNumber() > 0) {
-                builder.append(":").append(element.getLineNumber());
+        try {
+            for (StackTraceElement element : stackTraceElements) {
+                appendFrame(element, builder);
             }
-            builder.append(")");
-            builder.append("\n");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
         }
         return builder.toString();
     }
+
+    /**
+     * Captures the call site of the caller without filling in a full stack trace.
+     *
+     * @param maxFrames maximum number of frames to capture
+     */
+    public static CallSite captureCallSite(int maxFrames) {
+        return captureCallSite(0, maxFrames);
+    }
+
+    /**
+     * Captures the call site of the caller without filling in a full stack trace.
+     * Only the requested frames are walked, the frames of ExceptionUtil itself are never included.
+     *
+     * @param skipFrames number of the caller frames to skip (0 means the first frame is the caller itself)
+     * @param maxFrames  maximum number of frames to capture
+     * @param packages   if not empty, only the frames of the classes from these packages are captured
+     */
+    public static CallSite captureCallSite(final int skipFrames, final int maxFrames, final String... packages) {
+        final String self = ExceptionUtil.class.getName();
+        return new CallSite(WALKER.walk(frames -> frames.
+                dropWhile(frame -> frame.getClassName().equals(self)).
+                skip(skipFrames).
+                filter(frame -> isInPackages(frame.getClassName(), packages)).
+                limit(maxFrames).
+                toArray(StackWalker.StackFrame[]::new)));
+    }
+
+    private static boolean isInPackages(String className, String[] packages) {
+        if (packages.length == 0) {
+            return true;
+        }
+        for (String pkg : packages) {
+            if (className.startsWith(pkg) && (className.length() == pkg.length() || pkg.endsWith(".")
+                    || className.charAt(pkg.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Calculates the 64-bit fingerprint of an exception from the type and the top frames of it and its causes.
+     * The fingerprint is stable across JVM runs of the same code and does not depend on exception messages.
+     *
+     * @param topFrames number of the top frames of each cause to take into account
+     */
+    public static long fingerprint(Throwable exc, int topFrames) {
+        return fingerprint(exc, topFrames, FINGERPRINT_MAX_CAUSES);
+    }
+
+    /**
+     * Calculates the 64-bit fingerprint of an exception from the type and the top frames of it and its causes.
+     *
+     * @param topFrames number of the top frames of each cause to take into account
+     * @param maxCauses maximum number of causes to take into account (also protects from circular causes)
+     */
+    public static long fingerprint(Throwable exc, int topFrames, int maxCauses) {
+        long hash = FNV_OFFSET;
+        Throwable cause = exc;
+        for (int depth = 0; cause != null && depth <= maxCauses; ++depth) {
+            hash = hash(hash, cause.getClass().getName());
+            StackTraceElement[] trace = cause.getStackTrace();
+            int frames = Math.min(trace.length, topFrames);
+            for (int i = 0; i < frames; ++i) {
+                hash = hash(hash, trace[i].getClassName());
+                hash = hash(hash, trace[i].getMethodName());
+                hash = hash(hash, trace[i].getLineNumber());
+            }
+            cause = cause.getCause();
+        }
+        // final avalanche, so that close fingerprints spread well in hash tables
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); ++i) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        // separator, so that "ab" + "c" differs from "a" + "bc"
+        return (hash ^ 0xffff) * FNV_PRIME;
+    }
+
+    private static long hash(long hash, int value) {
+        hash = (hash ^ (value & 0xffff)) * FNV_PRIME;
+        return (hash ^ (value >>> 16)) * FNV_PRIME;
+    }
+
+    /**
+     * Writes the throwable with its trace, then its suppressed exceptions and its cause
+     */
+    private static void appendThrowable(Throwable exc, StackTraceElement[] enclosingTrace, String caption,
+                                        String prefix, Appendable out, int maxFrames, int maxCauses,
+                                        Set<Throwable> dejaVu) throws IOException {
+        if (dejaVu.contains(exc)) {
+            out.append(prefix).append(caption).append("[CIRCULAR REFERENCE: ").append(exc.toString()).append("]\n");
+            return;
+        }
+        dejaVu.add(exc);
+
+        StackTraceElement[] trace = exc.getStackTrace();
+        int m = trace.length - 1;
+        int n = enclosingTrace.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosingTrace[n])) {
+            m--;
+            n--;
+        }
+        int unique = m + 1;
+        int inCommon = trace.length - unique;
+        int printed = Math.min(unique, maxFrames);
+
+        out.append(prefix).append(caption).append(exc.toString()).append("\n");
+        for (int i = 0; i < printed; ++i) {
+            out.append(prefix);
+            appendFrame(trace[i], out);
+        }
+        if (printed < unique) {
+            out.append(prefix).append("\t... ").append(String.valueOf(unique - printed)).append(" truncated\n");
+        }
+        if (inCommon != 0) {
+            out.append(prefix).append("\t... ").append(String.valueOf(inCommon)).append(" more\n");
+        }
+        Throwable[] suppressed = exc.getSuppressed();
+        for (int i = 0; i < suppressed.length; ++i) {
+            if (dejaVu.size() > maxCauses) {
+                out.append(prefix).append("\t... ").append(String.valueOf(suppressed.length - i)).
+                        append(" suppressed omitted\n");
+                break;
+            }
+            appendThrowable(suppressed[i], trace, "Suppressed: ", prefix + "\t", out, maxFrames, maxCauses, dejaVu);
+        }
+        if (exc.getCause() != null) {
+            // a circular cause is still reported by appendThrowable, it costs a single line
+            if (dejaVu.size() > maxCauses && !dejaVu.contains(exc.getCause())) {
+                int omitted = countCauses(exc, dejaVu);
+                out.append(prefix).append("\t... ").append(String.valueOf(omitted)).
+                        append((omitted == MAX_COUNTED_CAUSES) ? "+ causes" : (omitted == 1) ? " cause" : " causes").
+                        append(" omitted\n");
+            } else {
+                appendThrowable(exc.getCause(), trace, "Caused by: ", prefix, out, maxFrames, maxCauses, dejaVu);
+            }
+        }
+    }
+
+    /**
+     * Counts the causes of the throwable that have not been printed yet, the count is capped to keep it cheap
+     */
+    private static int countCauses(Throwable exc, Set<Throwable> dejaVu) {
+        int count = 0;
+        for (Throwable cause = exc.getCause(); cause != null && !dejaVu.contains(cause); cause = cause.getCause()) {
+            if (++count == MAX_COUNTED_CAUSES) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static void appendFrame(StackTraceElement element, Appendable out) throws IOException {
+        appendFrame(element.getClassName(), element.getMethodName(), element.getFileName(), element.getLineNumber(),
+                out);
+    }
+
+    static void appendFrame(String className, String methodName, String fileName, int lineNumber, Appendable out)
+            throws IOException {
+        out.append("\tat ").append(className).
+                append("<").append(methodName).append(">");
+        out.append("(").append(fileName);
+        if (lineNumber > 0) {
+            out.append(":").append(String.valueOf(lineNumber));
+        }
+        out.append(")");
+        out.append("\n");
+    }
 }
@@ -0,0 +1,170 @@
+package me.smecsia.common.utils;
+
+import static me.smecsia.common.utils.FileUtil.fileMultiExtStart;
+
+/**
+ * Precomputed lookup table classifying paths by their extension.
+ * Each known extension gets a stable id (its index in the constructor arguments), the lookup itself
+ * hashes the extension characters in place and does not allocate.
+ * Multi-part extensions (".tar.gz") are supported, the longest registered extension of a file name wins.
+ * <p/>
+ * Example: new FileExtClassifier(true, ".jpg", ".png").classify("/path/to/IMG.JPG") --> 0
+ *
+ * @author Ilya Sadykov
+ */
+public class FileExtClassifier {
+
+    /**
+     * Id returned for the paths having an unknown extension or no extension at all
+     */
+    public static final int UNKNOWN = -1;
+
+    private final String[] extensions;
+    private final char[][] keys;
+    private final int[] ids;
+    private final int mask;
+    private final boolean ignoreCase;
+    private final char sep;
+
+    public FileExtClassifier(boolean ignoreCase, String... extensions) {
+        this(FileUtil.DEFAULT_SEP, ignoreCase, extensions);
+    }
+
+    /**
+     * @param sep        path separator ('/')
+     * @param ignoreCase true if the extensions must be compared ignoring the (ASCII) case
+     * @param extensions known extensions with the leading dot (".jpg")
+     */
+    public FileExtClassifier(char sep, boolean ignoreCase, String... extensions) {
+        this.sep = sep;
+        this.ignoreCase = ignoreCase;
+        this.extensions = new String[extensions.length];
+        int capacity = Integer.highestOneBit(Math.max(extensions.length, 1) * 4 - 1) << 1;
+        this.keys = new char[capacity][];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+        for (int id = 0; id < extensions.length; ++id) {
+            String ext = extensions[id];
+            if (ext == null || ext.isEmpty() || ext.charAt(0) != '.') {
+                throw new IllegalArgumentException("Extension must start with the leading dot: " + ext + "!");
+            }
+            this.extensions[id] = ext.intern();
+            char[] key = new char[ext.length()];
+            for (int i = 0; i < key.length; ++i) {
+                key[i] = fold(ext.charAt(i));
+            }
+            int slot = hash(ext, 0, ext.length()) & mask;
+            while (keys[slot] != null) {
+                if (equal(keys[slot], ext, 0)) {
+                    throw new IllegalArgumentException("Duplicate extension: " + ext + "!");
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            ids[slot] = id;
+        }
+    }
+
+    /**
+     * Returns the id of the path's longest registered extension or {@link #UNKNOWN}
+     */
+    public int classify(CharSequence path) {
+        if (path == null) {
+            return UNKNOWN;
+        }
+        int start = fileMultiExtStart(path, sep);
+        if (start < 0) {
+            return UNKNOWN;
+        }
+        // trying each dot of the file name, from the longest extension to the shortest one
+        final int end = path.length();
+        for (int dot = start; dot < end; ++dot) {
+            if (path.charAt(dot) == '.') {
+                int id = lookup(path, dot);
+                if (id != UNKNOWN) {
+                    return id;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Classifies each of the paths into the corresponding element of the result array
+     *
+     * @param paths  paths to classify
+     * @param result array receiving the extension ids, must be at least as long as the paths array
+     * @return the result array
+     */
+    public int[] classify(CharSequence[] paths, int[] result) {
+        if (result.length < paths.length) {
+            throw new IllegalArgumentException("Result array is too short: " + result.length + " < " + paths.length + "!");
+        }
+        for (int i = 0; i < paths.length; ++i) {
+            result[i] = classify(paths[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Classifies the paths and counts them per extension id.
+     * The count of the paths with unknown extensions is stored in the last element of the result.
+     *
+     * @return array of size extensionsCount() + 1
+     */
+    public int[] countByExt(CharSequence[] paths) {
+        int[] counts = new int[extensions.length + 1];
+        for (CharSequence path : paths) {
+            int id = classify(path);
+            counts[(id == UNKNOWN) ? extensions.length : id]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the interned extension by its id
+     */
+    public String extension(int id) {
+        return (id == UNKNOWN) ? "" : extensions[id];
+    }
+
+    public int extensionsCount() {
+        return extensions.length;
+    }
+
+    private int lookup(CharSequence path, int start) {
+        int slot = hash(path, start, path.length()) & mask;
+        char[] key;
+        while ((key = keys[slot]) != null) {
+            if (equal(key, path, start)) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    private int hash(CharSequence seq, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; ++i) {
+            h = 31 * h + fold(seq.charAt(i));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private boolean equal(char[] key, CharSequence seq, int from) {
+        if (seq.length() - from != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; ++i) {
+            if (key[i] != fold(seq.charAt(from + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char fold(char c) {
+        return (ignoreCase && c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+    }
+}
@@ -4,6 +4,7 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.CharBuffer;
 
 import static org.apache.commons.lang.StringUtils.isEmpty;
 
@@ -11,6 +12,12 @@ import static org.apache.commons.lang.StringUtils.isEmpty;
  * @author: Ilya Sadykov
  */
 public class FileUtil {
+
+    /**
+     * Path separator used when none is specified
+     */
+    public static final char DEFAULT_SEP = '/';
+
     public static File createTempDirectory()
             throws IOException {
         final File temp;
@@ -98,12 +105,114 @@ public class FileUtil {
 
     /**
      * Example: "/path/to/my/file.zip.jpg" --> ".jpg"
+     * Returns an empty string if the file name has no extension
      *
      * @param filePath path to file
      * @return extension with the leading dot
      */
     public static String getFileExt(String filePath) {
-        return (filePath != null) ? filePath.substring(filePath.lastIndexOf("."), filePath.length()) : "";
+        if (filePath == null) {
+            return "";
+        }
+        int start = fileExtStart(filePath, DEFAULT_SEP);
+        return (start >= 0) ? filePath.substring(start) : "";
+    }
+
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> 12 (the offset of "file.zip.jpg")
+     *
+     * @param path path to file
+     * @param sep  path separator ('/')
+     * @return offset of the first character of the file name
+     */
+    public static int fileNameStart(CharSequence path, char sep) {
+        return lastIndexOf(path, sep, path.length() - 1, 0) + 1;
+    }
+
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> 20 (the offset of ".jpg")
+     *
+     * @param path path to file
+     * @param sep  path separator ('/')
+     * @return offset of the leading dot of the extension or -1 if the file name has no extension
+     */
+    public static int fileExtStart(CharSequence path, char sep) {
+        return lastIndexOf(path, '.', path.length() - 1, fileNameStart(path, sep));
+    }
+
+    /**
+     * Example: "/path/to/my/archive.tar.gz" --> 19 (the offset of ".tar.gz")
+     *
+     * @param path path to file
+     * @param sep  path separator ('/')
+     * @return offset of the first dot of the file name or -1 if the file name has no extension
+     */
+    public static int fileMultiExtStart(CharSequence path, char sep) {
+        final int end = path.length();
+        for (int i = fileNameStart(path, sep); i < end; ++i) {
+            if (path.charAt(i) == '.') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> 11 (the end of "/path/to/my")
+     *
+     * @param path path to file
+     * @param sep  path separator ('/')
+     * @return end offset (exclusive) of the parent path or 0 if the path has no parent
+     */
+    public static int parentEnd(CharSequence path, char sep) {
+        return Math.max(fileNameStart(path, sep) - 1, 0);
     }
 
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> "file.zip.jpg"
+     * The result is a read-only view of the path, no characters are copied
+     */
+    public static CharSequence fileNameView(CharSequence path, char sep) {
+        return CharBuffer.wrap(path, fileNameStart(path, sep), path.length());
+    }
+
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> ".jpg"
+     * The result is a read-only view of the path, no characters are copied
+     */
+    public static CharSequence fileExtView(CharSequence path, char sep) {
+        return viewFrom(path, fileExtStart(path, sep));
+    }
+
+    /**
+     * Example: "/path/to/my/archive.tar.gz" --> ".tar.gz"
+     * The result is a read-only view of the path, no characters are copied
+     */
+    public static CharSequence fileMultiExtView(CharSequence path, char sep) {
+        return viewFrom(path, fileMultiExtStart(path, sep));
+    }
+
+    /**
+     * Example: "/path/to/my/file.zip.jpg" --> "/path/to/my"
+     * The result is a read-only view of the path, no characters are copied
+     */
+    public static CharSequence parentView(CharSequence path, char sep) {
+        return CharBuffer.wrap(path, 0, parentEnd(path, sep));
+    }
+
+    private static CharSequence viewFrom(CharSequence path, int start) {
+        return (start >= 0) ? CharBuffer.wrap(path, start, path.length()) : "";
+    }
+
+    /**
+     * Searches backwards for a character within [to, from]
+     */
+    private static int lastIndexOf(CharSequence seq, char ch, int from, int to) {
+        for (int i = from; i >= to; --i) {
+            if (seq.charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
 }
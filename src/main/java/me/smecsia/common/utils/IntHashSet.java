@@ -0,0 +1,235 @@
+package me.smecsia.common.utils;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of ints backed by an open addressing (linear probing) hash table.
+ * The *Int methods work on the primitive values without boxing, the {@link java.util.Set} methods box the values.
+ * Null elements are not supported.
+ *
+ * @author Ilya Sadykov
+ */
+public class IntHashSet extends AbstractSet<Integer> {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final byte FREE = 0;
+    private static final byte FULL = 1;
+    private static final byte REMOVED = 2;
+
+    private int[] keys;
+    private byte[] states;
+    private int size;
+    // full and removed slots, the table is rehashed when it exceeds the threshold
+    private int used;
+    private int threshold;
+    private int modCount;
+
+    public IntHashSet() {
+        this(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * @param expectedSize number of elements the set can hold without rehashing
+     */
+    public IntHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return true if the set did not contain the value
+     */
+    public boolean addInt(int value) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        int firstRemoved = -1;
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL) {
+                if (keys[slot] == value) {
+                    return false;
+                }
+            } else if (firstRemoved < 0) {
+                firstRemoved = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (firstRemoved >= 0) {
+            slot = firstRemoved;
+        } else {
+            used++;
+        }
+        keys[slot] = value;
+        states[slot] = FULL;
+        size++;
+        modCount++;
+        if (used > threshold) {
+            rehash(capacityFor(size));
+        }
+        return true;
+    }
+
+    public boolean containsInt(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * @return true if the set contained the value
+     */
+    public boolean removeInt(int value) {
+        int slot = indexOf(value);
+        if (slot < 0) {
+            return false;
+        }
+        states[slot] = REMOVED;
+        size--;
+        modCount++;
+        return true;
+    }
+
+    public int[] toIntArray() {
+        int[] result = new int[size];
+        int i = 0;
+        for (int slot = 0; slot < keys.length; ++slot) {
+            if (states[slot] == FULL) {
+                result[i++] = keys[slot];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean add(Integer value) {
+        return addInt(value);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return (o instanceof Integer) && containsInt((Integer) o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return (o instanceof Integer) && removeInt((Integer) o);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(states, FREE);
+        size = 0;
+        used = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int next = nextFull(0);
+            private int last = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < keys.length;
+            }
+
+            @Override
+            public Integer next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = nextFull(next + 1);
+                return keys[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                // marking the slot as removed never moves the other elements
+                states[last] = REMOVED;
+                size--;
+                expectedModCount = ++modCount;
+                last = -1;
+            }
+        };
+    }
+
+    private int nextFull(int from) {
+        int slot = from;
+        while (slot < keys.length && states[slot] != FULL) {
+            slot++;
+        }
+        return slot;
+    }
+
+    private int indexOf(int value) {
+        int mask = keys.length - 1;
+        int slot = hash(value) & mask;
+        while (states[slot] != FREE) {
+            if (states[slot] == FULL && keys[slot] == value) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        byte[] oldStates = states;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldStates[i] == FULL) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (states[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                states[slot] = FULL;
+            }
+        }
+        used = size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        states = new byte[capacity];
+        threshold = capacity / 2;
+    }
+
+    /**
+     * Capacity keeping the table at most half full
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Too large expected size: " + expectedSize);
+        }
+        return capacity;
+    }
+
+    private static int hash(int value) {
+        int h = value * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
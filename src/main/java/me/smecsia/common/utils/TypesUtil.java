@@ -1,5 +1,6 @@
 package me.smecsia.common.utils;
 
+import java.lang.reflect.Modifier;
 import java.util.*;
 
 /**
@@ -7,6 +8,91 @@ import java.util.*;
  */
 public class TypesUtil {
 
+    /**
+     * Kind of a java type. Primitive types and their wrappers share the same kind.
+     */
+    public static enum TypeKind {
+        INT(Integer.TYPE),
+        LONG(Long.TYPE),
+        DOUBLE(Double.TYPE),
+        FLOAT(Float.TYPE),
+        BOOLEAN(Boolean.TYPE),
+        SHORT(Short.TYPE),
+        BYTE(Byte.TYPE),
+        CHAR(Character.TYPE),
+        STRING(null),
+        ENUM(null),
+        COLLECTION(null),
+        MAP(null),
+        ARRAY(null),
+        OTHER(null);
+
+        private final Class<?> primitiveType;
+
+        TypeKind(Class<?> primitiveType) {
+            this.primitiveType = primitiveType;
+        }
+
+        /**
+         * Returns the primitive type of the kind or null if the kind is not a primitive one
+         */
+        public Class<?> getPrimitiveType() {
+            return primitiveType;
+        }
+
+        public boolean isPrimitive() {
+            return primitiveType != null;
+        }
+
+        private static TypeKind classify(Class<?> type) {
+            if (type == Integer.class || type == Integer.TYPE) {
+                return INT;
+            } else if (type == Long.class || type == Long.TYPE) {
+                return LONG;
+            } else if (type == Double.class || type == Double.TYPE) {
+                return DOUBLE;
+            } else if (type == Float.class || type == Float.TYPE) {
+                return FLOAT;
+            } else if (type == Boolean.class || type == Boolean.TYPE) {
+                return BOOLEAN;
+            } else if (type == Short.class || type == Short.TYPE) {
+                return SHORT;
+            } else if (type == Byte.class || type == Byte.TYPE) {
+                return BYTE;
+            } else if (type == Character.class || type == Character.TYPE) {
+                return CHAR;
+            } else if (type == String.class) {
+                return STRING;
+            } else if (Enum.class.isAssignableFrom(type)) {
+                return ENUM;
+            } else if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            } else if (Map.class.isAssignableFrom(type)) {
+                return MAP;
+            } else if (type.isArray()) {
+                return ARRAY;
+            }
+            return OTHER;
+        }
+    }
+
+    private static final ClassValue<TypeKind> TYPE_KINDS = new ClassValue<TypeKind>() {
+        @Override
+        protected TypeKind computeValue(Class<?> type) {
+            return TypeKind.classify(type);
+        }
+    };
+
+    /**
+     * Returns the kind of the type. The kind is computed once per class.
+     *
+     * @param type - java fieldType
+     * @return kind of the given fieldType
+     */
+    public static TypeKind typeKind(Class<?> type) {
+        return TYPE_KINDS.get(type);
+    }
+
     /**
      * Checks if the fieldType is integer
      *
@@ -14,8 +100,7 @@ public class TypesUtil {
      * @return true if the given fieldType is integer
      */
     public static boolean isInt(Class<?> type) {
-        return Integer.class.isAssignableFrom(type) || (type.isPrimitive() && type.toString().equals("int"));
-
+        return typeKind(type) == TypeKind.INT;
     }
 
     /**
@@ -25,7 +110,7 @@ public class TypesUtil {
      * @return true if the given fieldType is double
      */
     public static boolean isDouble(Class<?> type) {
-        return Double.class.isAssignableFrom(type) || (type.isPrimitive() && type.toString().equals("double"));
+        return typeKind(type) == TypeKind.DOUBLE;
     }
 
     /**
@@ -35,7 +120,7 @@ public class TypesUtil {
      * @return true if the given fieldType is float
      */
     public static boolean isFloat(Class<?> type) {
-        return Float.class.isAssignableFrom(type) || (type.isPrimitive() && type.toString().equals("float"));
+        return typeKind(type) == TypeKind.FLOAT;
     }
 
     /**
@@ -45,17 +130,17 @@ public class TypesUtil {
      * @return true if the given fieldType is boolean
      */
     public static boolean isBoolean(Class<?> type) {
-        return Boolean.class.isAssignableFrom(type) || (type.isPrimitive() && type.toString().equals("boolean"));
+        return typeKind(type) == TypeKind.BOOLEAN;
     }
 
     /**
-     * Checks if the fieldType is long
+     * Checks if the fieldType is string
      *
      * @param type - java fieldType
-     * @return true if the given fieldType is long
+     * @return true if the given fieldType is string
      */
     public static boolean isString(Class<?> type) {
-        return String.class.isAssignableFrom(type);
+        return typeKind(type) == TypeKind.STRING;
     }
 
     /**
@@ -65,7 +150,7 @@ public class TypesUtil {
      * @return true if the given fieldType is long
      */
     public static boolean isLong(Class<?> type) {
-        return Long.class.isAssignableFrom(type) || (type.isPrimitive() && type.toString().equals("long"));
+        return typeKind(type) == TypeKind.LONG;
     }
 
     /**
@@ -75,18 +160,17 @@ public class TypesUtil {
      * @return
      */
     public static Class<?> getGenericType(Class<?> objectType) {
-        if (isInt(objectType)) {
-            return Integer.TYPE;
-        } else if (isBoolean(objectType)) {
-            return Boolean.TYPE;
-        } else if (isDouble(objectType)) {
-            return Double.TYPE;
-        } else if (isLong(objectType)) {
-            return Long.TYPE;
-        } else if (isFloat(objectType)) {
-            return Float.TYPE;
+        TypeKind kind = typeKind(objectType);
+        switch (kind) {
+            case INT:
+            case BOOLEAN:
+            case DOUBLE:
+            case LONG:
+            case FLOAT:
+                return kind.getPrimitiveType();
+            default:
+                return objectType;
         }
-        return objectType;
     }
 
     /**
@@ -104,4 +188,76 @@ public class TypesUtil {
             throw new RuntimeException("Cannot instantiate collection of a class: " + collClass + ": Not supported!");
         }
     }
+
+    /**
+     * Instantiate the collection by its class, the type of its elements and the expected size.
+     * A concrete class is instantiated itself (presized for ArrayList, HashSet, LinkedHashSet and the
+     * primitive-specialised collections), it must have a public no-arg constructor.
+     * For an interface or an abstract class the primitive-specialised collection is chosen for the int and long
+     * elements ({@link IntArrayList}, {@link LongArrayList}, {@link IntHashSet}, {@link LongHashSet}),
+     * otherwise a presized ArrayList or HashSet, or a TreeSet or LinkedList if only they are assignable to it.
+     *
+     * @param collClass    class of the collection
+     * @param elementType  type of the collection elements
+     * @param expectedSize expected number of the elements
+     * @return
+     */
+    @SuppressWarnings("rawtypes")
+    public static Collection<?> instantiateCollection(Class<? extends Collection> collClass, Class<?> elementType,
+                                                      int expectedSize) {
+        if (!collClass.isInterface() && !Modifier.isAbstract(collClass.getModifiers())) {
+            if (collClass == ArrayList.class) {
+                return new ArrayList<Object>(expectedSize);
+            } else if (collClass == HashSet.class) {
+                return new HashSet<Object>(hashCapacity(expectedSize));
+            } else if (collClass == LinkedHashSet.class) {
+                return new LinkedHashSet<Object>(hashCapacity(expectedSize));
+            } else if (collClass == IntArrayList.class) {
+                return new IntArrayList(expectedSize);
+            } else if (collClass == LongArrayList.class) {
+                return new LongArrayList(expectedSize);
+            } else if (collClass == IntHashSet.class) {
+                return new IntHashSet(expectedSize);
+            } else if (collClass == LongHashSet.class) {
+                return new LongHashSet(expectedSize);
+            }
+            try {
+                return collClass.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Cannot instantiate collection of a class: " + collClass +
+                        ": Not supported!", e);
+            }
+        }
+        TypeKind kind = typeKind(elementType);
+        if (Set.class.isAssignableFrom(collClass)) {
+            if (kind == TypeKind.INT && collClass.isAssignableFrom(IntHashSet.class)) {
+                return new IntHashSet(expectedSize);
+            } else if (kind == TypeKind.LONG && collClass.isAssignableFrom(LongHashSet.class)) {
+                return new LongHashSet(expectedSize);
+            }
+            if (collClass.isAssignableFrom(HashSet.class)) {
+                return new HashSet<Object>(hashCapacity(expectedSize));
+            } else if (collClass.isAssignableFrom(TreeSet.class)) {
+                return new TreeSet<Object>();
+            }
+        } else {
+            if (kind == TypeKind.INT && collClass.isAssignableFrom(IntArrayList.class)) {
+                return new IntArrayList(expectedSize);
+            } else if (kind == TypeKind.LONG && collClass.isAssignableFrom(LongArrayList.class)) {
+                return new LongArrayList(expectedSize);
+            } else if (collClass.isAssignableFrom(ArrayList.class)) {
+                return new ArrayList<Object>(expectedSize);
+            } else if (collClass.isAssignableFrom(LinkedList.class)) {
+                return new LinkedList<Object>();
+            }
+        }
+        throw new RuntimeException("Cannot instantiate collection of a class: " + collClass + ": Not supported!");
+    }
+
+    /**
+     * Capacity of a hash based collection holding the expected number of elements without rehashing
+     */
+    private static int hashCapacity(int expectedSize) {
+        return Math.max((int) (expectedSize / 0.75f) + 1, 16);
+    }
 }
@@ -0,0 +1,175 @@
+package me.smecsia.common.utils;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static me.smecsia.common.utils.ConvertUtil.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Ilya Sadykov
+ */
+public class ConvertUtilTest {
+
+    public static enum Color {
+        red,
+        green
+    }
+
+    @Test
+    public void testParseNumbers() {
+        assertEquals(42, parseInt("a,42,b", 2, 4));
+        assertEquals(-42, parseInt("-42"));
+        assertEquals(Integer.MIN_VALUE, parseInt(String.valueOf(Integer.MIN_VALUE)));
+        assertEquals(Long.MAX_VALUE, parseLong(String.valueOf(Long.MAX_VALUE)));
+        assertNumberFormat("2147483648");
+        assertNumberFormat("-");
+        assertNumberFormat("1a");
+        assertNumberFormat("");
+    }
+
+    @Test
+    public void testParseDouble() {
+        String[] values = {"0", "-0.0", "1.5", ".25", "3.", "123456.789", "1e10", "-2.5E-3", "0.1", "1e300",
+                "12345678901234567890.5", "NaN", "-Infinity", "4.9e-324"};
+        for (String value : values) {
+            assertEquals(value, Double.doubleToLongBits(Double.parseDouble(value)),
+                    Double.doubleToLongBits(parseDouble(value)));
+        }
+        try {
+            parseDouble("1.2.3");
+            fail("NumberFormatException expected");
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    @Test
+    public void testParseBooleanAndEnum() {
+        assertTrue(parseBoolean("TRUE"));
+        assertFalse(parseBoolean("yes"));
+        assertEquals(Color.green, parseEnum(Color.class, "[green]", 1, 6));
+        assertEquals(Color.red, converter(Color.class).parse("red", 0, 3));
+    }
+
+    @Test
+    public void testConvertFromBytes() {
+        byte[] line = "17;9000000000;0.5;true".getBytes(StandardCharsets.US_ASCII);
+        AsciiSequence view = new AsciiSequence();
+        final long[] result = new long[4];
+        ValueSink sink = new ValueSink() {
+            @Override
+            public void acceptInt(int value) {
+                result[0] = value;
+            }
+
+            @Override
+            public void acceptLong(long value) {
+                result[1] = value;
+            }
+
+            @Override
+            public void acceptDouble(double value) {
+                result[2] = Double.doubleToLongBits(value);
+            }
+
+            @Override
+            public void acceptFloat(float value) {
+            }
+
+            @Override
+            public void acceptBoolean(boolean value) {
+                result[3] = value ? 1 : 0;
+            }
+
+            @Override
+            public void acceptObject(Object value) {
+            }
+        };
+        converter(Integer.TYPE).convert(view.wrap(line, 0, 2), 0, 2, sink);
+        converter(Long.class).convert(view.wrap(line, 3, 13), 0, 10, sink);
+        converter(Double.TYPE).convert(view.wrap(line, 14, 17), 0, 3, sink);
+        converter(Boolean.TYPE).convert(view.wrap(line, 18, 22), 0, 4, sink);
+        assertEquals(17, result[0]);
+        assertEquals(9000000000L, result[1]);
+        assertEquals(0.5, Double.longBitsToDouble(result[2]), 0);
+        assertEquals(1, result[3]);
+    }
+
+    @Test
+    public void testFieldSetter() throws Exception {
+        Record record = new Record();
+        fieldSetter(Record.class, "count").set(record, "12");
+        fieldSetter(Record.class, "total").set(record, "13");
+        fieldSetter(Record.class, "ratio").set(record, "0.75");
+        fieldSetter(Record.class, "color").set(record, "green");
+        fieldSetter(Record.class, "name").set(record, "name");
+        assertEquals(12, record.count);
+        assertEquals(Long.valueOf(13), record.total);
+        assertEquals(0.75, record.ratio, 0);
+        assertEquals(Color.green, record.color);
+        assertEquals("name", record.name);
+    }
+
+    @Test
+    public void testRegisteredConverterForGenericType() throws Exception {
+        Converter hex = new Converter() {
+            @Override
+            public Object parse(CharSequence src, int from, int to) {
+                return Integer.parseInt(src.subSequence(from, to).toString(), 16);
+            }
+        };
+        registerConverter(Integer.TYPE, hex);
+        try {
+            assertSame(hex, converter(Integer.class));
+            Record record = new Record();
+            fieldSetter(Record.class, "count").set(record, "10");
+            assertEquals(16, record.count);
+        } finally {
+            unregisterConverter(Integer.TYPE);
+        }
+        assertEquals(10, converter(Integer.class).parse("10", 0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConverterForEnumClass() {
+        converter(Enum.class);
+    }
+
+    @Test
+    public void testFieldSetterOfInaccessibleClass() throws Exception {
+        try {
+            fieldSetter(Thread.class, "name");
+            fail("Field of a java.base class must not be accessible");
+        } catch (RuntimeException ignored) {
+        }
+        Record record = new Record();
+        fieldSetter(Record.class, "name").set(record, "name");
+        assertEquals("name", record.name);
+        try {
+            fieldSetter(Record.class, "missing");
+            fail("IllegalArgumentException expected");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    private static void assertNumberFormat(String value) {
+        try {
+            parseInt(value);
+            fail("NumberFormatException expected for " + value);
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private static class Record {
+        private int count;
+        private Long total;
+        private double ratio;
+        private Color color;
+        private String name;
+    }
+}
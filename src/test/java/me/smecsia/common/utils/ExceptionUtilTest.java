@@ -0,0 +1,180 @@
+package me.smecsia.common.utils;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static me.smecsia.common.utils.ExceptionUtil.captureCallSite;
+import static me.smecsia.common.utils.ExceptionUtil.fingerprint;
+import static me.smecsia.common.utils.ExceptionUtil.formatStackTrace;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilya Sadykov
+ */
+public class ExceptionUtilTest {
+
+    @Test
+    public void testFormatStackTrace() {
+        Exception cause = new IllegalStateException("root");
+        Exception exc = new RuntimeException("top", cause);
+        exc.addSuppressed(new IllegalArgumentException("suppressed"));
+        String trace = formatStackTrace(exc);
+        assertTrue(trace.startsWith("java.lang.RuntimeException: top\n"));
+        assertTrue(trace.contains("\tSuppressed: java.lang.IllegalArgumentException: suppressed\n"));
+        assertTrue(trace.contains("Caused by: java.lang.IllegalStateException: root\n"));
+        assertTrue(trace.contains(" more\n"));
+        assertFalse(trace.contains("root: root"));
+    }
+
+    @Test
+    public void testFormatStackTraceLimits() {
+        Exception exc = new RuntimeException("top", new IllegalStateException("root"));
+        StringBuilder buffer = new StringBuilder();
+        String trace = formatStackTrace(exc, buffer, 1, 0).toString();
+        assertEquals(trace, buffer.toString());
+        assertEquals(1, countOccurrences(trace, "\tat "));
+        assertTrue(trace.endsWith("\n\t... 1 cause omitted\n"));
+        assertFalse(trace.contains("root"));
+    }
+
+    @Test
+    public void testFormatStackTraceSuppressedLimit() {
+        Exception exc = new RuntimeException("top");
+        for (int i = 0; i < 1000; ++i) {
+            exc.addSuppressed(new IllegalArgumentException("suppressed " + i));
+        }
+        String trace = formatStackTrace(exc, new StringBuilder(), 1, 2).toString();
+        assertEquals(2, countOccurrences(trace, "Suppressed: "));
+        assertEquals(1, countOccurrences(trace, "omitted"));
+        assertTrue(trace.contains("\t... 998 suppressed omitted\n"));
+    }
+
+    @Test
+    public void testFormatCircularCause() {
+        Exception first = new RuntimeException("first");
+        Exception second = new RuntimeException("second", first);
+        first.initCause(second);
+        assertTrue(formatStackTrace(first).contains("[CIRCULAR REFERENCE: java.lang.RuntimeException: first]"));
+    }
+
+    @Test
+    public void testFingerprint() {
+        long[] fingerprints = new long[2];
+        for (int i = 0; i < fingerprints.length; ++i) {
+            fingerprints[i] = fingerprint(new RuntimeException("message " + i), 5);
+        }
+        long otherLine = fingerprint(new RuntimeException("message 0"), 5);
+        assertEquals(fingerprints[0], fingerprints[1]);
+        assertNotEquals(fingerprints[0], otherLine);
+        assertNotEquals(fingerprint(new RuntimeException(), 5), fingerprint(new IllegalStateException(), 5));
+    }
+
+    @Test
+    public void testErrorAggregator() {
+        ErrorAggregator aggregator = new ErrorAggregator(10000);
+        int first = 0;
+        for (int i = 0; i < 100; ++i) {
+            if (aggregator.record(new IllegalStateException("failure " + i))) {
+                first++;
+            }
+        }
+        assertEquals(1, first);
+        assertEquals(1, aggregator.size());
+        assertTrue(aggregator.flush().isEmpty());
+
+        List<ErrorAggregator.Summary> summaries = aggregator.flush(System.currentTimeMillis() + 10000);
+        assertEquals(1, summaries.size());
+        assertEquals(100, summaries.get(0).getCount());
+        assertEquals("failure 0", summaries.get(0).getSample().getMessage());
+        assertTrue(summaries.get(0).toString().contains("seen 100 times in 10s"));
+    }
+
+    @Test
+    public void testErrorAggregatorEvictsIdleFingerprints() {
+        ErrorAggregator aggregator = new ErrorAggregator(1000, 8, 2);
+        long now = System.currentTimeMillis();
+        assertTrue(aggregator.record(new IllegalStateException()));
+        assertTrue(aggregator.record(new IllegalArgumentException()));
+        assertFalse(aggregator.record(new UnsupportedOperationException()));
+        assertEquals(2, aggregator.size());
+
+        List<ErrorAggregator.Summary> summaries = aggregator.flush(now + 1000);
+        assertEquals(3, summaries.size());
+        assertNull(summaries.get(2).getSample());
+        assertEquals(1, summaries.get(2).getTotal());
+        // both fingerprints are idle during the next interval and get evicted
+        assertTrue(aggregator.flush(now + 2000).isEmpty());
+        assertEquals(0, aggregator.size());
+
+        assertTrue(aggregator.record(new UnsupportedOperationException()));
+        assertEquals(1, aggregator.size());
+        aggregator.record(new IllegalStateException());
+        assertFalse(aggregator.record(new IllegalArgumentException()));
+        summaries = aggregator.flush(now + 3000);
+        assertEquals(3, summaries.size());
+        assertEquals(1, summaries.get(2).getCount());
+        assertEquals(2, summaries.get(2).getTotal());
+    }
+
+    @Test
+    public void testErrorAggregatorDoesNotLoseOccurrencesOnEviction() throws Exception {
+        final ErrorAggregator aggregator = new ErrorAggregator(1);
+        final int records = 200000;
+        final Exception exc = new IllegalStateException();
+        Thread recorder = new Thread() {
+            @Override
+            public void run() {
+                for (int i = 0; i < records; ++i) {
+                    aggregator.record(exc);
+                    if (i % 100 == 0) {
+                        // leave the fingerprint idle for a while, so that it gets evicted
+                        Thread.yield();
+                    }
+                }
+            }
+        };
+        recorder.start();
+        long now = System.currentTimeMillis();
+        long counted = 0;
+        while (recorder.isAlive()) {
+            for (ErrorAggregator.Summary summary : aggregator.flush(++now)) {
+                counted += summary.getCount();
+            }
+        }
+        recorder.join();
+        for (ErrorAggregator.Summary summary : aggregator.flush(++now)) {
+            counted += summary.getCount();
+        }
+        assertEquals(records, counted);
+    }
+
+    @Test
+    public void testCaptureCallSite() {
+        CallSite callSite = captureCallSite(2);
+        assertEquals(2, callSite.size());
+        assertEquals(getClass().getName(), callSite.getClassName(0));
+        assertEquals("testCaptureCallSite", callSite.getMethodName(0));
+        assertEquals(formatStackTrace(callSite.getStackTrace()), callSite.format());
+
+        assertEquals("testCaptureCallSite", nestedCallSite().getMethodName(0));
+        CallSite filtered = captureCallSite(0, 10, "me.smecsia");
+        assertEquals(1, filtered.size());
+    }
+
+    private static CallSite nestedCallSite() {
+        return captureCallSite(1, 1);
+    }
+
+    private static int countOccurrences(String str, String sub) {
+        int count = 0;
+        for (int idx = str.indexOf(sub); idx >= 0; idx = str.indexOf(sub, idx + 1)) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,56 @@
+package me.smecsia.common.utils;
+
+import org.junit.Test;
+
+import static me.smecsia.common.utils.FileUtil.*;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Ilya Sadykov
+ */
+public class FileUtilTest {
+
+    @Test
+    public void testGetFileExt() {
+        assertEquals(".jpg", getFileExt("/path/to/my/file.zip.jpg"));
+        assertEquals("", getFileExt("/path/to/my/file"));
+        assertEquals("", getFileExt("/path.d/to/file"));
+        assertEquals("", getFileExt(null));
+    }
+
+    @Test
+    public void testPathViews() {
+        String path = "/path/to/my/archive.tar.gz";
+        assertEquals("archive.tar.gz", fileNameView(path, '/').toString());
+        assertEquals(".gz", fileExtView(path, '/').toString());
+        assertEquals(".tar.gz", fileMultiExtView(path, '/').toString());
+        assertEquals("/path/to/my", parentView(path, '/').toString());
+        assertEquals("", parentView("file", '/').toString());
+        assertEquals(-1, fileExtStart("file", '/'));
+        assertEquals(-1, fileMultiExtStart("/some.dir/file", '/'));
+    }
+
+    @Test
+    public void testFileExtClassifier() {
+        FileExtClassifier classifier = new FileExtClassifier(true, ".jpg", ".png", ".gz");
+        assertEquals(0, classifier.classify("/path/IMG.JPG"));
+        assertEquals(1, classifier.classify("image.png"));
+        assertEquals(2, classifier.classify(new StringBuilder("archive.tar.gz")));
+        assertEquals(FileExtClassifier.UNKNOWN, classifier.classify("/path.jpg/file"));
+        assertEquals(".png", classifier.extension(1));
+
+        CharSequence[] paths = {"a.jpg", "b.txt", "c.png", "d", "e.jpg"};
+        assertArrayEquals(new int[]{0, -1, 1, -1, 0}, classifier.classify(paths, new int[paths.length]));
+        assertArrayEquals(new int[]{2, 1, 0, 2}, classifier.countByExt(paths));
+    }
+
+    @Test
+    public void testFileExtClassifierMultiPartExt() {
+        FileExtClassifier classifier = new FileExtClassifier(true, ".tar.gz", ".gz");
+        assertEquals(0, classifier.classify("/backups/a.TAR.gz"));
+        assertEquals(1, classifier.classify("a.log.gz"));
+        assertEquals(0, classifier.classify("a.b.tar.gz"));
+        assertEquals(FileExtClassifier.UNKNOWN, classifier.classify("a.tar"));
+    }
+}
@@ -0,0 +1,84 @@
+package me.smecsia.common.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Ilya Sadykov
+ */
+public class PrimitiveCollectionsTest {
+
+    @Test
+    public void testIntArrayList() {
+        IntArrayList list = new IntArrayList(1);
+        for (int i = 0; i < 100; ++i) {
+            list.addInt(i);
+        }
+        assertEquals(100, list.size());
+        assertEquals(42, list.getInt(42));
+        assertEquals(42, list.removeInt(42));
+        assertFalse(list.containsInt(42));
+        list.add(0, -1);
+        assertEquals(Integer.valueOf(-1), list.get(0));
+        assertTrue(list.contains(99));
+        assertEquals(100, list.toIntArray().length);
+    }
+
+    @Test
+    public void testLongArrayList() {
+        LongArrayList list = new LongArrayList();
+        list.addLong(Long.MAX_VALUE);
+        list.add(1L);
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 1L}, list.toLongArray());
+        assertEquals(1, list.indexOf(1L));
+        assertEquals(-1, list.indexOf(1));
+    }
+
+    @Test
+    public void testIntHashSet() {
+        IntHashSet set = new IntHashSet(4);
+        Set<Integer> expected = new HashSet<Integer>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; ++i) {
+            int value = random.nextInt(1000) - 500;
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(value), set.addInt(value));
+            } else {
+                assertEquals(expected.remove(value), set.removeInt(value));
+            }
+            assertEquals(expected.size(), set.size());
+        }
+        assertEquals(expected, set);
+        for (Iterator<Integer> it = set.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        for (int value : expected) {
+            assertEquals(value % 2 != 0, set.containsInt(value));
+        }
+    }
+
+    @Test
+    public void testLongHashSet() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 1000; ++i) {
+            assertTrue(set.addLong(i << 32));
+        }
+        assertFalse(set.addLong(0));
+        assertTrue(set.containsLong(999L << 32));
+        assertFalse(set.contains(1));
+        assertEquals(1000, set.toLongArray().length);
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.Test;
 
 import static me.smecsia.common.utils.TypesUtil.*;
 import static me.smecsia.common.utils.TypesUtil.isString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -48,4 +50,51 @@ public class TypesUtilTest {
         assertTrue(isLong(Long.TYPE));
         assertTrue(isLong(Long.class));
     }
+
+    @Test
+    public void testTypeKind() throws Exception {
+        assertEquals(TypeKind.INT, typeKind(Integer.TYPE));
+        assertEquals(TypeKind.INT, typeKind(Integer.class));
+        assertEquals(TypeKind.CHAR, typeKind(Character.TYPE));
+        assertEquals(TypeKind.STRING, typeKind(String.class));
+        assertEquals(TypeKind.ENUM, typeKind(TypeKind.class));
+        assertEquals(TypeKind.COLLECTION, typeKind(java.util.ArrayList.class));
+        assertEquals(TypeKind.MAP, typeKind(java.util.HashMap.class));
+        assertEquals(TypeKind.ARRAY, typeKind(int[].class));
+        assertEquals(TypeKind.OTHER, typeKind(Object.class));
+        assertFalse(isInt(Number.class));
+    }
+
+    @Test
+    public void testGetGenericType() throws Exception {
+        assertEquals(Integer.TYPE, getGenericType(Integer.class));
+        assertEquals(Long.TYPE, getGenericType(Long.TYPE));
+        assertEquals(Short.class, getGenericType(Short.class));
+        assertEquals(String.class, getGenericType(String.class));
+    }
+
+    @Test
+    public void testInstantiateCollection() throws Exception {
+        assertEquals(IntArrayList.class, instantiateCollection(java.util.List.class, Integer.class, 10).getClass());
+        assertEquals(LongHashSet.class, instantiateCollection(java.util.Set.class, Long.TYPE, 10).getClass());
+        assertEquals(java.util.ArrayList.class, instantiateCollection(java.util.ArrayList.class, Integer.class, 10).getClass());
+        assertEquals(java.util.LinkedList.class, instantiateCollection(java.util.LinkedList.class, Long.class, 10).getClass());
+        assertEquals(java.util.HashSet.class, instantiateCollection(java.util.Set.class, String.class, 10).getClass());
+        assertEquals(java.util.TreeSet.class, instantiateCollection(java.util.SortedSet.class, Integer.class, 10).getClass());
+        assertEquals(java.util.TreeSet.class, instantiateCollection(java.util.NavigableSet.class, String.class, 10).getClass());
+        assertEquals(java.util.LinkedList.class,
+                instantiateCollection(java.util.AbstractSequentialList.class, Integer.class, 10).getClass());
+        assertEquals(IntArrayList.class, instantiateCollection(IntArrayList.class, Integer.class, 10).getClass());
+        assertEquals(LongHashSet.class, instantiateCollection(LongHashSet.class, Long.class, 10).getClass());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInstantiateUnsupportedAbstractCollection() throws Exception {
+        instantiateCollection(java.util.concurrent.BlockingQueue.class, String.class, 10);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testInstantiateCollectionWithoutDefaultConstructor() throws Exception {
+        instantiateCollection(java.util.Collections.emptyList().getClass(), Integer.class, 0);
+    }
 }